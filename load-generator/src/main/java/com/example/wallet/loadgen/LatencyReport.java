@@ -0,0 +1,111 @@
+package com.example.wallet.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// JSON-отчет с перцентилями задержек и пропускной способностью, плюс .hgrm-файлы
+// с полным распределением для построения графиков (HdrHistogram plotter)
+public final class LatencyReport {
+    
+    private static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9, 99.99};
+    private static final double MICROS_PER_MILLI = 1000.0;
+    
+    private LatencyReport() {
+    }
+    
+    public static Map<String, Object> build(OpenLoopRunner.Result result, LoadGeneratorConfig config) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("baseUrl", config.baseUrl());
+        report.put("workload", config.replayFile() != null ? "replay:" + config.replayFile() : "synthetic");
+        if (config.replayFile() == null) {
+            Map<String, Object> mix = new LinkedHashMap<>();
+            mix.put("wallets", config.wallets());
+            mix.put("zipfExponent", config.zipfExponent());
+            mix.put("depositRatio", config.depositRatio());
+            mix.put("withdrawRatio", config.withdrawRatio());
+            mix.put("readRatio", config.readRatio());
+            report.put("mix", mix);
+        }
+        
+        Map<String, Object> requests = new LinkedHashMap<>();
+        requests.put("sent", result.sent());
+        requests.put("completed", result.completed());
+        requests.put("outcomes", result.outcomes());
+        report.put("requests", requests);
+        
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("targetRps", config.rate());
+        throughput.put("sentRps", perSecond(result.sent(), result.sendSeconds()));
+        throughput.put("completedRps", perSecond(result.completed(), result.elapsedSeconds()));
+        throughput.put("successfulRps", perSecond(result.successful(), result.elapsedSeconds()));
+        throughput.put("durationSeconds", round(result.elapsedSeconds()));
+        report.put("throughput", throughput);
+        
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("corrected", summarize(result.correctedLatency()));
+        latency.put("uncorrected", summarize(result.uncorrectedLatency()));
+        report.put("latencyMs", latency);
+        report.put("maxScheduleLagMs", round(result.maxScheduleLagMillis()));
+        return report;
+    }
+    
+    public static void write(Map<String, Object> report, OpenLoopRunner.Result result, Path output,
+                             ObjectMapper objectMapper) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        writeDistribution(result.correctedLatency(), sibling(output, ".corrected.hgrm"));
+        writeDistribution(result.uncorrectedLatency(), sibling(output, ".uncorrected.hgrm"));
+    }
+    
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        if (histogram.getTotalCount() == 0) {
+            return summary;
+        }
+        summary.put("min", round(histogram.getMinValue() / MICROS_PER_MILLI));
+        summary.put("mean", round(histogram.getMean() / MICROS_PER_MILLI));
+        for (double percentile : PERCENTILES) {
+            String key = "p" + (percentile == Math.rint(percentile)
+                    ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile));
+            summary.put(key, round(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI));
+        }
+        summary.put("max", round(histogram.getMaxValue() / MICROS_PER_MILLI));
+        return summary;
+    }
+    
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+    
+    private static Path sibling(Path output, String suffix) {
+        String name = output.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return output.resolveSibling(base + suffix);
+    }
+    
+    private static double perSecond(long count, double seconds) {
+        return seconds > 0 ? round(count / seconds) : 0;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.wallet.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+
+// Точка входа генератора нагрузки для Wallet Service
+public final class LoadGenerator {
+    
+    private LoadGenerator() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorConfig config;
+        try {
+            config = LoadGeneratorConfig.fromArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.err.println(LoadGeneratorConfig.usage());
+            System.exit(2);
+            return;
+        }
+        if (config.isHelp()) {
+            System.out.println(LoadGeneratorConfig.usage());
+            return;
+        }
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        Workload workload = config.replayFile() != null
+                ? new ReplayWorkload(config.replayFile(), config.replayLoop(), objectMapper)
+                : new SyntheticWorkload(config);
+        
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        OpenLoopRunner runner = new OpenLoopRunner(httpClient, config, objectMapper);
+        
+        System.out.printf("Preparing %d wallets...%n", workload.walletsToPrepare().size());
+        runner.prepare(workload.walletsToPrepare());
+        
+        System.out.printf("Running %d rps for %ds (+%ds warmup) against %s%n",
+                config.rate(), config.duration().toSeconds(), config.warmup().toSeconds(), config.baseUrl());
+        OpenLoopRunner.Result result = runner.run(workload);
+        
+        Map<String, Object> report = LatencyReport.build(result, config);
+        LatencyReport.write(report, result, config.output(), objectMapper);
+        
+        System.out.println(objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report));
+        System.out.println("Report written to " + config.output().toAbsolutePath());
+    }
+}
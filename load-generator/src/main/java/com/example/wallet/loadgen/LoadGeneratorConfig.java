@@ -0,0 +1,160 @@
+package com.example.wallet.loadgen;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Параметры запуска в формате --key=value
+public final class LoadGeneratorConfig {
+    
+    private final Map<String, String> values;
+    
+    private LoadGeneratorConfig(Map<String, String> values) {
+        this.values = values;
+    }
+    
+    public static LoadGeneratorConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        LoadGeneratorConfig config = new LoadGeneratorConfig(values);
+        if (!config.isHelp()) {
+            config.validate();
+        }
+        return config;
+    }
+    
+    // Нулевые и отрицательные значения ломают расписание отправки или блокируют генератор навсегда
+    private void validate() {
+        requirePositive("rate", rate());
+        requirePositive("duration", duration().toSeconds());
+        requirePositive("max-in-flight", maxInFlight());
+        requirePositive("request-timeout-ms", requestTimeout().toMillis());
+        requirePositive("wallets", wallets());
+        if (warmup().isNegative()) {
+            throw new IllegalArgumentException("--warmup must not be negative");
+        }
+    }
+    
+    private static void requirePositive(String key, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + key + " must be greater than zero, got " + value);
+        }
+    }
+    
+    public boolean isHelp() {
+        return values.containsKey("help");
+    }
+    
+    public String baseUrl() {
+        return get("base-url", "http://localhost:8080/api/v1/wallets");
+    }
+    
+    // Целевая частота запросов в секунду (открытая модель нагрузки)
+    public int rate() {
+        return Integer.parseInt(get("rate", "1000"));
+    }
+    
+    public Duration duration() {
+        return Duration.ofSeconds(Long.parseLong(get("duration", "60")));
+    }
+    
+    public Duration warmup() {
+        return Duration.ofSeconds(Long.parseLong(get("warmup", "5")));
+    }
+    
+    // Ограничение одновременных запросов, чтобы не исчерпать память при деградации сервиса
+    public int maxInFlight() {
+        return Integer.parseInt(get("max-in-flight", "2000"));
+    }
+    
+    public Duration requestTimeout() {
+        return Duration.ofMillis(Long.parseLong(get("request-timeout-ms", "10000")));
+    }
+    
+    // Путь к JSONL-файлу с операциями; если не задан, используется синтетическая нагрузка
+    public Path replayFile() {
+        String file = values.get("replay");
+        return file != null ? Path.of(file) : null;
+    }
+    
+    public boolean replayLoop() {
+        return Boolean.parseBoolean(get("replay-loop", "true"));
+    }
+    
+    public int wallets() {
+        return Integer.parseInt(get("wallets", "1000"));
+    }
+    
+    // Показатель распределения Зипфа: 0 - равномерно, больше 1 - сильный перекос на горячие кошельки
+    public double zipfExponent() {
+        return Double.parseDouble(get("zipf-exponent", "1.1"));
+    }
+    
+    public double depositRatio() {
+        return Double.parseDouble(get("deposit-ratio", "0.45"));
+    }
+    
+    public double withdrawRatio() {
+        return Double.parseDouble(get("withdraw-ratio", "0.35"));
+    }
+    
+    public double readRatio() {
+        return Double.parseDouble(get("read-ratio", "0.20"));
+    }
+    
+    public BigDecimal minAmount() {
+        return new BigDecimal(get("min-amount", "1"));
+    }
+    
+    public BigDecimal maxAmount() {
+        return new BigDecimal(get("max-amount", "500"));
+    }
+    
+    // Начальное пополнение каждого синтетического кошелька, чтобы списания не упирались в нулевой баланс
+    public BigDecimal initialBalance() {
+        return new BigDecimal(get("initial-balance", "1000000"));
+    }
+    
+    public long seed() {
+        return Long.parseLong(get("seed", "42"));
+    }
+    
+    public Path output() {
+        return Path.of(get("output", "load-report.json"));
+    }
+    
+    private String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+    
+    public static String usage() {
+        return String.join(System.lineSeparator(),
+                "Usage: java -jar wallet-load-generator.jar [--key=value ...]",
+                "  --base-url=http://localhost:8080/api/v1/wallets",
+                "  --rate=1000                 target requests per second",
+                "  --duration=60               measured seconds",
+                "  --warmup=5                  seconds sent before measuring",
+                "  --max-in-flight=2000        concurrent request limit",
+                "  --request-timeout-ms=10000",
+                "  --replay=<file.jsonl>       replay operations instead of the synthetic mix",
+                "  --replay-loop=true          restart the replay file when it ends",
+                "  --wallets=1000              synthetic wallet count",
+                "  --zipf-exponent=1.1         hot wallet skew",
+                "  --deposit-ratio=0.45 --withdraw-ratio=0.35 --read-ratio=0.20",
+                "  --min-amount=1 --max-amount=500 --initial-balance=1000000",
+                "  --seed=42",
+                "  --output=load-report.json");
+    }
+}
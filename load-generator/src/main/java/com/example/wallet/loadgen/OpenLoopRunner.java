@@ -0,0 +1,198 @@
+package com.example.wallet.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Генератор нагрузки по открытой модели: запросы отправляются по расписанию с заданной частотой,
+// независимо от того, ответил ли сервис на предыдущие.
+//
+// Поправка на coordinated omission: задержка считается от запланированного момента отправки,
+// а не от фактического. Если сервис (или сам генератор) отстает, ожидание в очереди попадает
+// в гистограмму, а не теряется, как в замкнутой модели с фиксированным числом потоков.
+public final class OpenLoopRunner {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    
+    private final HttpClient httpClient;
+    private final LoadGeneratorConfig config;
+    private final ObjectMapper objectMapper;
+    
+    public OpenLoopRunner(HttpClient httpClient, LoadGeneratorConfig config, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Создает кошельки и пополняет их начальным балансом; уже существующие кошельки не считаются ошибкой
+    public void prepare(Collection<UUID> wallets) throws IOException, InterruptedException {
+        for (UUID walletId : wallets) {
+            HttpRequest create = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/" + walletId + "/create"))
+                    .timeout(config.requestTimeout())
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            int status = httpClient.send(create, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 201 && status != 409) {
+                throw new IllegalStateException("Failed to create wallet " + walletId + ": HTTP " + status);
+            }
+            
+            Operation deposit = new Operation(Operation.Type.DEPOSIT, walletId, config.initialBalance());
+            status = httpClient.send(toHttpRequest(deposit), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("Failed to fund wallet " + walletId + ": HTTP " + status);
+            }
+        }
+    }
+    
+    public Result run(Workload workload) throws IOException, InterruptedException {
+        Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        AtomicLong lastCompletion = new AtomicLong();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) config.rate();
+        long start = System.nanoTime();
+        long measureStart = start + config.warmup().toNanos();
+        long end = measureStart + config.duration().toNanos();
+        long sent = 0;
+        long maxLagNanos = 0;
+        
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart >= end) {
+                break;
+            }
+            Operation operation = workload.next();
+            if (operation == null) {
+                break;
+            }
+            HttpRequest request = toHttpRequest(operation);
+            
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            
+            long actualStart = System.nanoTime();
+            boolean measured = intendedStart >= measureStart;
+            if (measured) {
+                sent++;
+                maxLagNanos = Math.max(maxLagNanos, actualStart - intendedStart);
+            }
+            
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long now = System.nanoTime();
+                        // Слот освобождается после записи, иначе drain может собрать отчет без этого ответа
+                        try {
+                            if (measured) {
+                                corrected.recordValue(toMicros(now - intendedStart));
+                                uncorrected.recordValue(toMicros(now - actualStart));
+                                outcomes.computeIfAbsent(outcome(response, error), key -> new LongAdder()).increment();
+                                lastCompletion.accumulateAndGet(now, Math::max);
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        long dispatchEnd = System.nanoTime();
+        
+        // Дожидаемся ответов на уже отправленные запросы
+        long drainTimeoutMillis = config.requestTimeout().toMillis() + TimeUnit.SECONDS.toMillis(5);
+        if (!inFlight.tryAcquire(config.maxInFlight(), drainTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            System.err.println("Some requests did not complete within " + drainTimeoutMillis + " ms");
+        }
+        
+        Map<String, Long> outcomeCounts = new LinkedHashMap<>();
+        outcomes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> outcomeCounts.put(entry.getKey(), entry.getValue().sum()));
+        
+        long measuredEnd = Math.max(dispatchEnd, lastCompletion.get());
+        return new Result(
+                corrected,
+                uncorrected,
+                sent,
+                outcomeCounts,
+                (dispatchEnd - measureStart) / 1e9,
+                (measuredEnd - measureStart) / 1e9,
+                maxLagNanos / 1e6);
+    }
+    
+    private HttpRequest toHttpRequest(Operation operation) throws IOException {
+        if (operation.type() == Operation.Type.GET) {
+            return HttpRequest.newBuilder(URI.create(config.baseUrl() + "/" + operation.walletId()))
+                    .timeout(config.requestTimeout())
+                    .GET()
+                    .build();
+        }
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("walletId", operation.walletId());
+        body.put("operationType", operation.type().name());
+        body.put("amount", operation.amount());
+        if (operation.reference() != null) {
+            body.put("reference", operation.reference());
+        }
+        if (operation.durability() != null) {
+            body.put("durability", operation.durability());
+        }
+        return HttpRequest.newBuilder(URI.create(config.baseUrl()))
+                .timeout(config.requestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+    
+    private static String outcome(HttpResponse<?> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            return cause instanceof HttpTimeoutException ? "timeout" : "error";
+        }
+        return (response.statusCode() / 100) + "xx";
+    }
+    
+    private static long toMicros(long nanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+    }
+    
+    // Результат измеряемой части прогона (без прогрева)
+    public record Result(
+            Histogram correctedLatency,
+            Histogram uncorrectedLatency,
+            long sent,
+            Map<String, Long> outcomes,
+            double sendSeconds,
+            double elapsedSeconds,
+            double maxScheduleLagMillis) {
+        
+        public long completed() {
+            return outcomes.values().stream().mapToLong(Long::longValue).sum();
+        }
+        
+        public long successful() {
+            return outcomes.getOrDefault("2xx", 0L);
+        }
+    }
+}
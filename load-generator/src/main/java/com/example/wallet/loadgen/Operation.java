@@ -0,0 +1,22 @@
+package com.example.wallet.loadgen;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Одна операция нагрузки: пополнение, списание или чтение баланса.
+// reference и durability передаются в теле запроса как есть, null - поле не отправляется.
+public record Operation(Type type, UUID walletId, BigDecimal amount, String reference, String durability) {
+    
+    public static final String DEFAULT_REFERENCE = "load-generator";
+    
+    // Синтетическая операция без запроса уровня надежности
+    public Operation(Type type, UUID walletId, BigDecimal amount) {
+        this(type, walletId, amount, DEFAULT_REFERENCE, null);
+    }
+    
+    public enum Type {
+        DEPOSIT,
+        WITHDRAW,
+        GET
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.wallet.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Воспроизведение операций из JSONL-файла: одна строка - одно тело WalletOperationRequest
+// (reference и durability отправляются как записаны), operationType GET означает запрос баланса. Пустые строки и строки с # пропускаются.
+public final class ReplayWorkload implements Workload {
+    
+    private final List<Operation> operations;
+    private final boolean loop;
+    private int position;
+    
+    public ReplayWorkload(Path file, boolean loop, ObjectMapper objectMapper) throws IOException {
+        this.operations = new ArrayList<>();
+        this.loop = loop;
+        
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            operations.add(parse(objectMapper.readTree(trimmed), file, lineNumber));
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Replay file contains no operations: " + file);
+        }
+    }
+    
+    @Override
+    public Operation next() {
+        if (position == operations.size()) {
+            if (!loop) {
+                return null;
+            }
+            position = 0;
+        }
+        return operations.get(position++);
+    }
+    
+    @Override
+    public Collection<UUID> walletsToPrepare() {
+        // Кошельки из файла должны существовать заранее
+        return List.of();
+    }
+    
+    private static Operation parse(JsonNode node, Path file, int lineNumber) {
+        JsonNode walletId = node.get("walletId");
+        JsonNode operationType = node.get("operationType");
+        if (walletId == null || operationType == null) {
+            throw new IllegalArgumentException(String.format(
+                    "%s:%d: walletId and operationType are required", file, lineNumber));
+        }
+        
+        Operation.Type type;
+        try {
+            type = Operation.Type.valueOf(operationType.asText());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(
+                    "%s:%d: unknown operationType '%s', expected one of DEPOSIT, WITHDRAW, GET",
+                    file, lineNumber, operationType.asText()));
+        }
+        JsonNode amount = node.get("amount");
+        if (type != Operation.Type.GET && amount == null) {
+            throw new IllegalArgumentException(String.format(
+                    "%s:%d: amount is required for %s", file, lineNumber, type));
+        }
+        return new Operation(
+                type,
+                UUID.fromString(walletId.asText()),
+                amount != null ? new BigDecimal(amount.asText()) : null,
+                textOrNull(node.get("reference")),
+                textOrNull(node.get("durability")));
+    }
+    
+    private static String textOrNull(JsonNode node) {
+        return node != null && !node.isNull() ? node.asText() : null;
+    }
+}
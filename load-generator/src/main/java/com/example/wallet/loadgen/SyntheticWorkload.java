@@ -0,0 +1,67 @@
+package com.example.wallet.loadgen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// Синтетическая смесь операций с перекосом по кошелькам (Зипф)
+public final class SyntheticWorkload implements Workload {
+    
+    private final List<UUID> wallets;
+    private final ZipfDistribution walletDistribution;
+    private final double depositThreshold;
+    private final double withdrawThreshold;
+    private final BigDecimal minAmount;
+    private final BigDecimal amountRange;
+    private final SplittableRandom random;
+    
+    public SyntheticWorkload(LoadGeneratorConfig config) {
+        double total = config.depositRatio() + config.withdrawRatio() + config.readRatio();
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one operation ratio must be positive");
+        }
+        if (config.maxAmount().compareTo(config.minAmount()) < 0) {
+            throw new IllegalArgumentException("max-amount must not be less than min-amount");
+        }
+        
+        // Детерминированные идентификаторы позволяют переиспользовать кошельки между запусками
+        this.wallets = new ArrayList<>(config.wallets());
+        for (int i = 0; i < config.wallets(); i++) {
+            wallets.add(UUID.nameUUIDFromBytes(("wallet-load-generator-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        this.walletDistribution = new ZipfDistribution(config.wallets(), config.zipfExponent());
+        this.depositThreshold = config.depositRatio() / total;
+        this.withdrawThreshold = (config.depositRatio() + config.withdrawRatio()) / total;
+        this.minAmount = config.minAmount();
+        this.amountRange = config.maxAmount().subtract(config.minAmount());
+        this.random = new SplittableRandom(config.seed());
+    }
+    
+    @Override
+    public Operation next() {
+        UUID walletId = wallets.get(walletDistribution.sample(random));
+        double roll = random.nextDouble();
+        if (roll < depositThreshold) {
+            return new Operation(Operation.Type.DEPOSIT, walletId, nextAmount());
+        }
+        if (roll < withdrawThreshold) {
+            return new Operation(Operation.Type.WITHDRAW, walletId, nextAmount());
+        }
+        return new Operation(Operation.Type.GET, walletId, null);
+    }
+    
+    @Override
+    public Collection<UUID> walletsToPrepare() {
+        return wallets;
+    }
+    
+    private BigDecimal nextAmount() {
+        return minAmount.add(amountRange.multiply(BigDecimal.valueOf(random.nextDouble())))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.wallet.loadgen;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// Источник операций для генератора нагрузки
+public interface Workload {
+    
+    // Следующая операция или null, если нагрузка исчерпана
+    Operation next();
+    
+    // Кошельки, которые нужно создать и пополнить перед запуском
+    Collection<UUID> walletsToPrepare();
+}
@@ -0,0 +1,31 @@
+package com.example.wallet.loadgen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Распределение Зипфа на [0, size): ранг k выбирается с вероятностью ~ 1 / (k + 1)^exponent
+public final class ZipfDistribution {
+    
+    private final double[] cumulative;
+    
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than zero");
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+    
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.wallet.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyReportTest {
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void summarizesPercentilesInMilliseconds() {
+        Histogram corrected = histogram();
+        for (int micros = 1; micros <= 10_000; micros++) {
+            corrected.recordValue(micros);
+        }
+        OpenLoopRunner.Result result = new OpenLoopRunner.Result(
+                corrected, histogram(), 10_000, Map.of("2xx", 10_000L), 10.0, 10.0, 0.0);
+        
+        Map<String, Object> report = LatencyReport.build(result, LoadGeneratorConfig.fromArgs(new String[0]));
+        
+        Map<String, Object> latency = (Map<String, Object>) report.get("latencyMs");
+        Map<String, Object> summary = (Map<String, Object>) latency.get("corrected");
+        assertTrue(summary.keySet().containsAll(
+                List.of("p50", "p75", "p90", "p95", "p99", "p99.9", "p99.99")), summary.toString());
+        assertFalse(summary.containsKey("p99.0"));
+        assertEquals(5.0, (double) summary.get("p50"), 0.01);
+        assertEquals(9.99, (double) summary.get("p99.9"), 0.01);
+        
+        Map<String, Object> uncorrected = (Map<String, Object>) latency.get("uncorrected");
+        assertEquals(Map.of("count", 0L), uncorrected);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void computesThroughputFromResult() {
+        OpenLoopRunner.Result result = new OpenLoopRunner.Result(
+                histogram(), histogram(), 100,
+                Map.of("2xx", 90L, "5xx", 10L), 10.0, 20.0, 0.0);
+        
+        Map<String, Object> report = LatencyReport.build(result, LoadGeneratorConfig.fromArgs(new String[0]));
+        
+        Map<String, Object> throughput = (Map<String, Object>) report.get("throughput");
+        assertEquals(10.0, throughput.get("sentRps"));
+        assertEquals(5.0, throughput.get("completedRps"));
+        assertEquals(4.5, throughput.get("successfulRps"));
+    }
+    
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    }
+}
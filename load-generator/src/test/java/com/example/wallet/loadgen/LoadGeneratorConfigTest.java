@@ -0,0 +1,59 @@
+package com.example.wallet.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadGeneratorConfigTest {
+    
+    @Test
+    void usesDefaultsWithoutArguments() {
+        LoadGeneratorConfig config = LoadGeneratorConfig.fromArgs(new String[0]);
+        
+        assertEquals(1000, config.rate());
+        assertEquals(Duration.ofSeconds(60), config.duration());
+        assertEquals(2000, config.maxInFlight());
+    }
+    
+    @Test
+    void parsesKeyValueArguments() {
+        LoadGeneratorConfig config = LoadGeneratorConfig.fromArgs(
+                new String[]{"--rate=250", "--duration=5", "--replay-loop=false"});
+        
+        assertEquals(250, config.rate());
+        assertEquals(Duration.ofSeconds(5), config.duration());
+        assertEquals(false, config.replayLoop());
+    }
+    
+    @Test
+    void rejectsNonPositiveValues() {
+        assertRejected("--rate=0", "--rate");
+        assertRejected("--duration=0", "--duration");
+        assertRejected("--max-in-flight=-1", "--max-in-flight");
+        assertRejected("--request-timeout-ms=0", "--request-timeout-ms");
+        assertRejected("--wallets=0", "--wallets");
+        assertRejected("--warmup=-1", "--warmup");
+    }
+    
+    @Test
+    void rejectsPositionalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorConfig.fromArgs(new String[]{"1000"}));
+    }
+    
+    @Test
+    void helpSkipsValidation() {
+        LoadGeneratorConfig config = LoadGeneratorConfig.fromArgs(new String[]{"--help", "--rate=0"});
+        
+        assertTrue(config.isHelp());
+    }
+    
+    private static void assertRejected(String arg, String key) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LoadGeneratorConfig.fromArgs(new String[]{arg}));
+        assertTrue(e.getMessage().startsWith(key), e.getMessage());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.wallet.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayWorkloadTest {
+    
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void parsesOperationsAndSkipsComments() throws IOException {
+        Path file = write(
+                "# header",
+                "",
+                "{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"DEPOSIT\",\"amount\":10.5,"
+                        + "\"reference\":\"order-1\",\"durability\":\"RELAXED\"}",
+                "{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"GET\"}");
+        
+        ReplayWorkload workload = new ReplayWorkload(file, false, objectMapper);
+        
+        Operation deposit = workload.next();
+        assertEquals(Operation.Type.DEPOSIT, deposit.type());
+        assertEquals(WALLET_ID, deposit.walletId());
+        assertEquals(new BigDecimal("10.5"), deposit.amount());
+        assertEquals("order-1", deposit.reference());
+        assertEquals("RELAXED", deposit.durability());
+        
+        Operation get = workload.next();
+        assertEquals(Operation.Type.GET, get.type());
+        assertNull(get.amount());
+        assertNull(get.durability());
+    }
+    
+    @Test
+    void stopsAtEndWithoutLoop() throws IOException {
+        Path file = write("{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"GET\"}");
+        
+        ReplayWorkload workload = new ReplayWorkload(file, false, objectMapper);
+        
+        assertEquals(Operation.Type.GET, workload.next().type());
+        assertNull(workload.next());
+    }
+    
+    @Test
+    void restartsFromBeginningWithLoop() throws IOException {
+        Path file = write(
+                "{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"DEPOSIT\",\"amount\":1}",
+                "{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"WITHDRAW\",\"amount\":1}");
+        
+        ReplayWorkload workload = new ReplayWorkload(file, true, objectMapper);
+        
+        assertEquals(Operation.Type.DEPOSIT, workload.next().type());
+        assertEquals(Operation.Type.WITHDRAW, workload.next().type());
+        assertEquals(Operation.Type.DEPOSIT, workload.next().type());
+        assertEquals(Operation.Type.WITHDRAW, workload.next().type());
+    }
+    
+    @Test
+    void reportsLineOfMissingField() throws IOException {
+        Path file = write(
+                "{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"GET\"}",
+                "{\"operationType\":\"GET\"}");
+        
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ReplayWorkload(file, false, objectMapper));
+        assertTrue(e.getMessage().startsWith(file + ":2:"), e.getMessage());
+    }
+    
+    @Test
+    void reportsUnknownOperationType() throws IOException {
+        Path file = write("{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"TRANSFER\"}");
+        
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ReplayWorkload(file, false, objectMapper));
+        assertTrue(e.getMessage().startsWith(file + ":1:"), e.getMessage());
+        assertTrue(e.getMessage().contains("TRANSFER"), e.getMessage());
+    }
+    
+    @Test
+    void requiresAmountForMoneyMovements() throws IOException {
+        Path file = write("{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"WITHDRAW\"}");
+        
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ReplayWorkload(file, false, objectMapper));
+        assertTrue(e.getMessage().contains("amount is required"), e.getMessage());
+    }
+    
+    @Test
+    void rejectsFileWithoutOperations() throws IOException {
+        Path file = write("# nothing here", "");
+        
+        assertThrows(IllegalArgumentException.class, () -> new ReplayWorkload(file, true, objectMapper));
+    }
+    
+    private Path write(String... lines) throws IOException {
+        Path file = directory.resolve("replay.jsonl");
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.wallet.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfDistributionTest {
+    
+    private static final int SIZE = 100;
+    private static final int SAMPLES = 100_000;
+    
+    @Test
+    void samplesStayWithinRange() {
+        ZipfDistribution distribution = new ZipfDistribution(SIZE, 1.1);
+        SplittableRandom random = new SplittableRandom(42);
+        
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = distribution.sample(random);
+            assertTrue(rank >= 0 && rank < SIZE, "rank out of range: " + rank);
+        }
+    }
+    
+    @Test
+    void lowerRanksAreSampledMoreOften() {
+        ZipfDistribution distribution = new ZipfDistribution(SIZE, 1.1);
+        SplittableRandom random = new SplittableRandom(42);
+        
+        int[] counts = new int[SIZE];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        
+        assertTrue(counts[0] > counts[1], "rank 0 should be the hottest");
+        assertTrue(counts[1] > counts[9], "rank 1 should be hotter than rank 9");
+        assertTrue(counts[0] > 10 * counts[SIZE - 1], "distribution should be skewed");
+    }
+    
+    @Test
+    void zeroExponentIsUniform() {
+        ZipfDistribution distribution = new ZipfDistribution(SIZE, 0);
+        SplittableRandom random = new SplittableRandom(42);
+        
+        int[] counts = new int[SIZE];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        
+        int expected = SAMPLES / SIZE;
+        for (int count : counts) {
+            assertTrue(Math.abs(count - expected) < expected / 4, "uneven count: " + count);
+        }
+    }
+    
+    @Test
+    void rejectsEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.1));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.wallet.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Периодическое обновление фильтра известных кошельков
+}
@@ -0,0 +1,41 @@
+package com.example.wallet.controller;
+
+import com.example.wallet.dto.ProfilingReport;
+import com.example.wallet.dto.ProfilingStatus;
+import com.example.wallet.service.ProfilingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// GET /management/profiling - состояние записи
+// POST /management/profiling {"durationSeconds": 60, "maxSizeMb": 32} - запуск JFR-записи
+// DELETE /management/profiling?top=10 - остановка и отчет по горячим кошелькам и медленным операциям
+@Component
+@Endpoint(id = "profiling")
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+    
+    private final ProfilingService profilingService;
+    
+    @ReadOperation
+    public ProfilingStatus status() {
+        return profilingService.status();
+    }
+    
+    @WriteOperation
+    public ProfilingStatus start(@Nullable Long durationSeconds, @Nullable Long maxSizeMb) {
+        return profilingService.start(durationSeconds, maxSizeMb);
+    }
+    
+    @DeleteOperation
+    public WebEndpointResponse<ProfilingReport> stop(@Nullable Integer top) {
+        return profilingService.stop(top)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
@@ -2,6 +2,8 @@
 
 import com.example.wallet.dto.*;
 import com.example.wallet.model.Wallet;
+import com.example.wallet.service.DurabilityPolicy;
+import com.example.wallet.service.GroupCommitter;
 import com.example.wallet.service.WalletService;
 import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
@@ -20,6 +22,8 @@ import java.util.UUID;
 public class WalletController {
     
     private final WalletService walletService;
+    private final DurabilityPolicy durabilityPolicy;
+    private final GroupCommitter groupCommitter;
     
     // POST /api/v1/wallets - как указано в задании
     @PostMapping
@@ -31,11 +35,20 @@ public class WalletController {
                 request.getOperationType(), request.getWalletId(), request.getAmount());
         
         try {
+            // Неизвестные кошельки отсекаются до транзакции и до учета уровня надежности
+            walletService.requireKnownWallet(request.getWalletId(), String.valueOf(request.getOperationType()));
+            
+            DurabilityTier tier = durabilityPolicy.resolve(request);
+            
             // Используем оптимизированный метод для конкурентной обработки
-            walletService.processOperationOptimized(request);
+            if (durabilityPolicy.isGroupCommit(tier)) {
+                groupCommitter.submit(request);
+            } else {
+                walletService.processOperationOptimized(request, tier);
+            }
             
             // Получаем обновленный баланс
-            WalletBalanceResponse balanceResponse = walletService.getWalletBalance(request.getWalletId());
+            WalletBalanceResponse balanceResponse = walletService.getBalanceAfterOperation(request.getWalletId());
             
             return ResponseEntity.ok(ApiResponse.success(balanceResponse));
             
@@ -56,6 +69,7 @@ public class WalletController {
         log.info("Getting balance for wallet: {}", walletId);
         
         try {
+            walletService.requireKnownWallet(walletId, "GET");
             WalletBalanceResponse balanceResponse = walletService.getWalletBalance(walletId);
             return ResponseEntity.ok(ApiResponse.success(balanceResponse));
         } catch (Exception e) {
@@ -0,0 +1,9 @@
+package com.example.wallet.dto;
+
+// Уровень надежности фиксации операции
+public enum DurabilityTier {
+    // Синхронный сброс WAL на каждый коммит
+    FULL,
+    // Асинхронный коммит или групповая фиксация для мелких операций
+    RELAXED
+}
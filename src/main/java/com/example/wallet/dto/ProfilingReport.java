@@ -0,0 +1,56 @@
+package com.example.wallet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProfilingReport {
+    
+    private Instant startedAt;
+    private Instant stoppedAt;
+    private long operations;
+    private Map<String, Long> outcomes;
+    private List<HotWallet> hotWallets;
+    private List<SlowOperation> slowestOperations;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HotWallet {
+        private String walletIdHash;
+        private long operations;
+        private long retries;
+        private long failures;
+        private double totalTimeMs;
+        private double maxTimeMs;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SlowOperation {
+        private Instant startedAt;
+        private String operation;
+        private String walletIdHash;
+        private String durabilityTier;
+        private String outcome;
+        private int retries;
+        private double durationMs;
+        private double statementTimeMs;
+        private double queueWaitMs;
+    }
+}
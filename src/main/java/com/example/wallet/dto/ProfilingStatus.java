@@ -0,0 +1,23 @@
+package com.example.wallet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProfilingStatus {
+    
+    // NONE, RUNNING, STOPPED (запись завершилась по таймеру и ждет выгрузки отчета)
+    private String state;
+    private Instant startedAt;
+    private Long maxDurationSeconds;
+    private Long maxSizeBytes;
+}
@@ -24,15 +24,20 @@ public class WalletOperationRequest {
     
     private String reference;
     
+    // Необязательный запрос уровня надежности; RELAXED учитывается только для мелких сумм
+    private DurabilityTier durability;
+    
     @JsonCreator
     public WalletOperationRequest(
             @JsonProperty("walletId") UUID walletId,
             @JsonProperty("operationType") OperationType operationType,
             @JsonProperty("amount") BigDecimal amount,
-            @JsonProperty("reference") String reference) {
+            @JsonProperty("reference") String reference,
+            @JsonProperty("durability") DurabilityTier durability) {
         this.walletId = walletId;
         this.operationType = operationType;
         this.amount = amount;
         this.reference = reference;
+        this.durability = durability;
     }
 }
@@ -0,0 +1,8 @@
+package com.example.wallet.exception;
+
+// Сбой на этапе COMMIT пакета: пакет мог быть зафиксирован, поэтому операцию нельзя повторять
+public class GroupCommitOutcomeUnknownException extends RuntimeException {
+    public GroupCommitOutcomeUnknownException(Throwable cause) {
+        super("Group commit outcome is unknown, operation was not retried: " + cause.getMessage(), cause);
+    }
+}
@@ -5,13 +5,18 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, UUID> {
@@ -25,6 +30,14 @@ public interface WalletRepository extends JpaRepository<Wallet, UUID> {
     
     boolean existsByWalletId(UUID walletId);
     
+    // Потоковое чтение всех идентификаторов для построения фильтра известных кошельков
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "10000"))
+    @Query("SELECT w.walletId FROM Wallet w")
+    Stream<UUID> streamAllWalletIds();
+    
+    @Query("SELECT w.walletId FROM Wallet w WHERE w.createdAt >= :since")
+    List<UUID> findWalletIdsCreatedSince(@Param("since") LocalDateTime since);
+    
     // Оптимизированные операции для уменьшения блокировок
     @Modifying
     @Query("UPDATE Wallet w SET w.balance = w.balance + :amount, w.version = w.version + 1 WHERE w.walletId = :walletId")
@@ -33,4 +46,8 @@ public interface WalletRepository extends JpaRepository<Wallet, UUID> {
     @Modifying
     @Query("UPDATE Wallet w SET w.balance = w.balance - :amount, w.version = w.version + 1 WHERE w.walletId = :walletId AND w.balance >= :amount")
     int withdraw(@Param("walletId") UUID walletId, @Param("amount") BigDecimal amount);
+    
+    // Асинхронный коммит только для текущей транзакции (уровень надежности RELAXED)
+    @Query(value = "SELECT set_config('synchronous_commit', 'off', true)", nativeQuery = true)
+    String disableSynchronousCommit();
 }
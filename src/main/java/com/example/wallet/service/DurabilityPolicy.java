@@ -0,0 +1,69 @@
+package com.example.wallet.service;
+
+import com.example.wallet.dto.DurabilityTier;
+import com.example.wallet.dto.WalletOperationRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Slf4j
+@Component
+public class DurabilityPolicy {
+    
+    // Способ фиксации операций уровня RELAXED
+    public enum RelaxedMode {
+        // SET LOCAL synchronous_commit = off внутри транзакции
+        ASYNC_COMMIT,
+        // Пакетная фиксация несколькими операциями в одной транзакции
+        GROUP_COMMIT
+    }
+    
+    private final boolean enabled;
+    private final BigDecimal relaxedMaxAmount;
+    private final RelaxedMode relaxedMode;
+    private final Counter fullCounter;
+    private final Counter relaxedCounter;
+    
+    public DurabilityPolicy(
+            @Value("${wallet.durability.enabled:false}") boolean enabled,
+            @Value("${wallet.durability.relaxed-max-amount:100}") BigDecimal relaxedMaxAmount,
+            @Value("${wallet.durability.relaxed-mode:ASYNC_COMMIT}") RelaxedMode relaxedMode,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.relaxedMaxAmount = relaxedMaxAmount;
+        this.relaxedMode = relaxedMode;
+        this.fullCounter = Counter.builder("wallet.durability.operations")
+                .description("Wallet operations by durability tier")
+                .tag("tier", DurabilityTier.FULL.name())
+                .register(meterRegistry);
+        this.relaxedCounter = Counter.builder("wallet.durability.operations")
+                .description("Wallet operations by durability tier")
+                .tag("tier", DurabilityTier.RELAXED.name())
+                .register(meterRegistry);
+        
+        log.info("Durability tiers enabled: {}, relaxed max amount: {}, relaxed mode: {}",
+                enabled, relaxedMaxAmount, relaxedMode);
+    }
+    
+    // Определяет уровень надежности операции и учитывает его в метриках.
+    // Крупные суммы всегда фиксируются с полной надежностью, даже если клиент запросил RELAXED.
+    public DurabilityTier resolve(WalletOperationRequest request) {
+        DurabilityTier tier = enabled
+                && request.getDurability() != DurabilityTier.FULL
+                && request.getAmount() != null
+                && request.getAmount().compareTo(relaxedMaxAmount) < 0
+                ? DurabilityTier.RELAXED
+                : DurabilityTier.FULL;
+        
+        (tier == DurabilityTier.RELAXED ? relaxedCounter : fullCounter).increment();
+        return tier;
+    }
+    
+    public boolean isGroupCommit(DurabilityTier tier) {
+        return enabled && tier == DurabilityTier.RELAXED && relaxedMode == RelaxedMode.GROUP_COMMIT;
+    }
+}
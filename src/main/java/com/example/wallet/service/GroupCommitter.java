@@ -0,0 +1,336 @@
+package com.example.wallet.service;
+
+import com.example.wallet.dto.DurabilityTier;
+import com.example.wallet.dto.OperationType;
+import com.example.wallet.dto.WalletOperationRequest;
+import com.example.wallet.exception.GroupCommitOutcomeUnknownException;
+import com.example.wallet.exception.InsufficientFundsException;
+import com.example.wallet.exception.WalletNotFoundException;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Групповая фиксация операций уровня RELAXED: запросы накапливаются в очереди и
+// каждые несколько миллисекунд применяются одной транзакцией с одним сбросом WAL.
+@Slf4j
+@Component
+public class GroupCommitter {
+    
+    private final WalletRepository walletRepository;
+    private final WalletService walletService;
+    private final WalletIdFilter walletIdFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean active;
+    private final long intervalNanos;
+    private final int maxBatchSize;
+    private final long waitTimeoutMs;
+    private final BlockingQueue<PendingOperation> queue;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+    private final Counter fallbackCounter;
+    
+    private volatile boolean running;
+    private Thread committerThread;
+    
+    public GroupCommitter(
+            WalletRepository walletRepository,
+            WalletService walletService,
+            WalletIdFilter walletIdFilter,
+            PlatformTransactionManager transactionManager,
+            DurabilityPolicy durabilityPolicy,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.durability.group-commit.interval-ms:5}") long intervalMs,
+            @Value("${wallet.durability.group-commit.max-batch-size:200}") int maxBatchSize,
+            @Value("${wallet.durability.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${wallet.durability.group-commit.wait-timeout-ms:1000}") long waitTimeoutMs) {
+        this.walletRepository = walletRepository;
+        this.walletService = walletService;
+        this.walletIdFilter = walletIdFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.active = durabilityPolicy.isGroupCommit(DurabilityTier.RELAXED);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        this.maxBatchSize = maxBatchSize;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        
+        this.batchSizeSummary = DistributionSummary.builder("wallet.group.commit.batch.size")
+                .description("Number of operations committed in one group commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("wallet.group.commit.flush.time")
+                .description("Time taken to apply and commit one group commit batch")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("wallet.group.commit.fallbacks")
+                .description("Operations processed in a single transaction instead of a group commit")
+                .register(meterRegistry);
+        Gauge.builder("wallet.group.commit.queue.size", queue, BlockingQueue::size)
+                .description("Operations waiting for group commit")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!active) {
+            return;
+        }
+        running = true;
+        committerThread = new Thread(this::runLoop, "wallet-group-committer");
+        committerThread.setDaemon(true);
+        committerThread.start();
+        log.info("Group committer started: interval {} ms, max batch size {}",
+                TimeUnit.NANOSECONDS.toMillis(intervalNanos), maxBatchSize);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (committerThread == null) {
+            return;
+        }
+        running = false;
+        committerThread.interrupt();
+        committerThread.join(TimeUnit.SECONDS.toMillis(30));
+        
+        // Оставшиеся в очереди операции уйдут в отдельные транзакции через fallback
+        List<PendingOperation> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        failAll(remaining, new IllegalStateException("Group committer is stopped"));
+    }
+    
+    // Блокирует вызывающий поток до фиксации пакета, в который попала операция.
+    // Ответ клиенту отправляется только после коммита, поэтому подтвержденные операции не теряются.
+    public void submit(WalletOperationRequest request) {
+        // Событие покрывает очередь и пакет; при откате пакета outcome отражает его ошибку.
+        // Операции, ушедшие в отдельную транзакцию, записываются ее собственным событием.
+        WalletOperationEvent event = WalletOperationEvent.start(
+                String.valueOf(request.getOperationType()), request.getWalletId(), DurabilityTier.RELAXED);
+        long enqueuedAt = event.clock();
+        
+        PendingOperation operation = new PendingOperation(request);
+        if (!running || !queue.offer(operation)) {
+            processSingle(request);
+            return;
+        }
+        
+        Integer updated;
+        try {
+            updated = awaitResult(operation);
+        } catch (InterruptedException e) {
+            // Снимаем операцию с очереди, если пакет еще не забрал ее
+            operation.claim();
+            Thread.currentThread().interrupt();
+            event.fail(e);
+            event.finish();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            event.fail(e.getCause());
+            event.finish();
+            if (e.getCause() instanceof GroupCommitOutcomeUnknownException outcomeUnknown) {
+                throw outcomeUnknown;
+            }
+            // Пакет откатился до COMMIT, поэтому операцию можно безопасно повторить отдельно
+            log.warn("Group commit failed, retrying operation in a single transaction: {}",
+                    e.getCause().getMessage());
+            processSingle(request);
+            return;
+        }
+        if (updated == null) {
+            // Операция не попала в пакет за отведенное время и выполнена не будет;
+            // событие не фиксируется, отдельная транзакция запишет свое
+            log.warn("Group commit did not pick up operation within {} ms, using a single transaction",
+                    waitTimeoutMs);
+            processSingle(request);
+            return;
+        }
+        event.addQueueWait(enqueuedAt, operation.batchedAt().get());
+        
+        try {
+            if (updated == 0) {
+                if (request.getOperationType() == OperationType.DEPOSIT) {
+                    throw walletNotFound(request.getWalletId());
+                }
+                Wallet wallet = walletRepository.findByWalletId(request.getWalletId())
+                        .orElseThrow(() -> walletNotFound(request.getWalletId()));
+                throw new InsufficientFundsException(
+                    request.getWalletId(),
+                    wallet.getBalance(),
+                    request.getAmount()
+                );
+            }
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    // null - операция так и не попала в пакет и снята с очереди вызывающим потоком
+    private Integer awaitResult(PendingOperation operation) throws InterruptedException, ExecutionException {
+        try {
+            return operation.result().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (operation.claim()) {
+                return null;
+            }
+            // Пакет с операцией уже выполняется; flush завершает future при любом исходе,
+            // а время выполнения ограничено statement_timeout в PostgreSQL
+            return operation.result().get();
+        }
+    }
+    
+    private WalletNotFoundException walletNotFound(UUID walletId) {
+        walletIdFilter.recordFalsePositive();
+        return new WalletNotFoundException(walletId);
+    }
+    
+    private void processSingle(WalletOperationRequest request) {
+        fallbackCounter.increment();
+        // Групповая фиксация сохраняет synchronous_commit, поэтому и запасной путь
+        // отвечает только после сброса WAL
+        walletService.processOperationOptimized(request, DurabilityTier.FULL);
+    }
+    
+    private void runLoop() {
+        List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                try {
+                    PendingOperation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    
+                    // Добираем пакет до истечения окна или до максимального размера
+                    long deadline = System.nanoTime() + intervalNanos;
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            queue.drainTo(batch, maxBatchSize - batch.size());
+                            break;
+                        }
+                        PendingOperation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    
+                    flush(batch);
+                } catch (InterruptedException e) {
+                    failAll(batch, new IllegalStateException("Group committer is stopped"));
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable e) {
+                    // Ни одна ошибка не должна оставить вызывающие потоки без ответа
+                    log.error("Group commit loop failed: {}", e.getMessage(), e);
+                    failAll(batch, e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            // Новые операции пойдут в отдельные транзакции, ожидающие в очереди - через fallback
+            running = false;
+            List<PendingOperation> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            failAll(remaining, new IllegalStateException("Group committer is stopped"));
+        }
+    }
+    
+    private static void failAll(List<PendingOperation> operations, Throwable error) {
+        operations.forEach(operation -> operation.result().completeExceptionally(error));
+    }
+    
+    private void flush(List<PendingOperation> batch) {
+        // Операции, снятые вызывающим потоком по таймауту, в пакет не попадают
+        batch.removeIf(operation -> !operation.claimForBatch());
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        // Порядок по walletId исключает взаимоблокировки между строками внутри пакета;
+        // сортировка стабильна, поэтому операции одного кошелька сохраняют свой порядок
+        batch.sort(Comparator.comparing(operation -> operation.request().getWalletId()));
+        batchSizeSummary.record(batch.size());
+        
+        Timer.Sample sample = Timer.start();
+        // true, когда все UPDATE выполнены и TransactionTemplate переходит к COMMIT
+        boolean[] commitStarted = {false};
+        try {
+            int[] updated = transactionTemplate.execute(status -> {
+                int[] counts = new int[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    WalletOperationRequest request = batch.get(i).request();
+                    counts[i] = request.getOperationType() == OperationType.DEPOSIT
+                            ? walletRepository.deposit(request.getWalletId(), request.getAmount())
+                            : walletRepository.withdraw(request.getWalletId(), request.getAmount());
+                }
+                commitStarted[0] = true;
+                return counts;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(updated[i]);
+            }
+        } catch (Throwable e) {
+            // Ошибка до COMMIT означает откат и допускает повтор; ошибка самого COMMIT
+            // (обрыв соединения, TransactionSystemException) оставляет исход неизвестным
+            failAll(batch, commitStarted[0] ? new GroupCommitOutcomeUnknownException(e) : e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+    
+    // Операцию забирает либо поток фиксации (в пакет), либо вызывающий поток (по таймауту) - но не оба
+    private record PendingOperation(
+            WalletOperationRequest request,
+            CompletableFuture<Integer> result,
+            AtomicBoolean claimed,
+            AtomicLong batchedAt) {
+        
+        private PendingOperation(WalletOperationRequest request) {
+            this(request, new CompletableFuture<>(), new AtomicBoolean(), new AtomicLong());
+        }
+        
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+        
+        private boolean claimForBatch() {
+            if (!claim()) {
+                return false;
+            }
+            batchedAt.set(System.nanoTime());
+            return true;
+        }
+    }
+}
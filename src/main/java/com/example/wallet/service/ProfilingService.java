@@ -0,0 +1,228 @@
+package com.example.wallet.service;
+
+import com.example.wallet.dto.ProfilingReport;
+import com.example.wallet.dto.ProfilingStatus;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+// Управление JFR-записью событий WalletOperationEvent по запросу из /management/profiling.
+// Запись ограничена по времени и размеру и включает только события сервиса.
+@Slf4j
+@Service
+public class ProfilingService {
+    
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final int defaultTopN;
+    
+    private Recording recording;
+    
+    public ProfilingService(
+            @Value("${wallet.profiling.max-duration-seconds:300}") long maxDurationSeconds,
+            @Value("${wallet.profiling.max-size-mb:64}") long maxSizeMb,
+            @Value("${wallet.profiling.top-n:10}") int defaultTopN) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.defaultTopN = defaultTopN;
+    }
+    
+    public synchronized ProfilingStatus status() {
+        if (recording == null) {
+            return ProfilingStatus.builder().state("NONE").build();
+        }
+        return ProfilingStatus.builder()
+                .state(recording.getState() == RecordingState.RUNNING ? "RUNNING" : "STOPPED")
+                .startedAt(recording.getStartTime())
+                .maxDurationSeconds(recording.getDuration().toSeconds())
+                .maxSizeBytes(recording.getMaxSize())
+                .build();
+    }
+    
+    // Запрошенные лимиты не могут превышать настроенные максимумы
+    public synchronized ProfilingStatus start(Long durationSeconds, Long sizeMb) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+        
+        Duration duration = durationSeconds != null && durationSeconds > 0
+                ? Duration.ofSeconds(Math.min(durationSeconds, maxDuration.toSeconds()))
+                : maxDuration;
+        long size = sizeMb != null && sizeMb > 0
+                ? Math.min(sizeMb * 1024 * 1024, maxSizeBytes)
+                : maxSizeBytes;
+        
+        Recording newRecording = new Recording();
+        newRecording.setName("wallet-profiling");
+        newRecording.enable(WalletOperationEvent.class).withThreshold(Duration.ZERO);
+        newRecording.setToDisk(true);
+        newRecording.setMaxSize(size);
+        newRecording.setDuration(duration);
+        newRecording.start();
+        recording = newRecording;
+        
+        log.info("Started wallet profiling recording for {} s, max size {} bytes", duration.toSeconds(), size);
+        return status();
+    }
+    
+    // Останавливает запись, строит отчет и освобождает ее ресурсы; пусто, если записи нет
+    public synchronized Optional<ProfilingReport> stop(Integer topN) {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        
+        Path file = null;
+        try {
+            file = Files.createTempFile("wallet-profiling-", ".jfr");
+            recording.dump(file);
+            ProfilingReport report = summarize(file, topN != null && topN > 0 ? topN : defaultTopN);
+            report.setStartedAt(recording.getStartTime());
+            report.setStoppedAt(recording.getStopTime());
+            log.info("Stopped wallet profiling recording: {} operations", report.getOperations());
+            return Optional.of(report);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read profiling recording", e);
+        } finally {
+            closeRecording();
+            deleteQuietly(file);
+        }
+    }
+    
+    @PreDestroy
+    public synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+    
+    private ProfilingReport summarize(Path file, int topN) throws IOException {
+        Map<Long, WalletStats> wallets = new HashMap<>();
+        Map<String, Long> outcomes = new TreeMap<>();
+        // Минимальная куча: в вершине самая быстрая из отобранных медленных операций
+        PriorityQueue<RecordedEvent> slowest = new PriorityQueue<>(Comparator.comparing(RecordedEvent::getDuration));
+        long operations = 0;
+        
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                if (!WalletOperationEvent.NAME.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                operations++;
+                String outcome = event.getString("outcome");
+                outcomes.merge(outcome, 1L, Long::sum);
+                wallets.computeIfAbsent(event.getLong("walletIdHash"), hash -> new WalletStats())
+                        .add(event, !WalletOperationEvent.SUCCESS.equals(outcome));
+                
+                slowest.add(event);
+                if (slowest.size() > topN) {
+                    slowest.poll();
+                }
+            }
+        }
+        
+        List<ProfilingReport.HotWallet> hotWallets = wallets.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, WalletStats> entry) -> entry.getValue().operations)
+                        .thenComparingLong(entry -> entry.getValue().totalNanos)
+                        .reversed())
+                .limit(topN)
+                .map(entry -> entry.getValue().toHotWallet(entry.getKey()))
+                .toList();
+        
+        List<ProfilingReport.SlowOperation> slowestOperations = slowest.stream()
+                .sorted(Comparator.comparing(RecordedEvent::getDuration).reversed())
+                .map(ProfilingService::toSlowOperation)
+                .toList();
+        
+        return ProfilingReport.builder()
+                .operations(operations)
+                .outcomes(outcomes)
+                .hotWallets(hotWallets)
+                .slowestOperations(slowestOperations)
+                .build();
+    }
+    
+    private static ProfilingReport.SlowOperation toSlowOperation(RecordedEvent event) {
+        return ProfilingReport.SlowOperation.builder()
+                .startedAt(event.getStartTime())
+                .operation(event.getString("operation"))
+                .walletIdHash(Long.toHexString(event.getLong("walletIdHash")))
+                .durabilityTier(event.getString("durabilityTier"))
+                .outcome(event.getString("outcome"))
+                .retries(event.getInt("retries"))
+                .durationMs(toMillis(event.getDuration()))
+                .statementTimeMs(toMillis(event.getDuration("statementTime")))
+                .queueWaitMs(toMillis(event.getDuration("queueWait")))
+                .build();
+    }
+    
+    private static double toMillis(Duration duration) {
+        return Math.round(duration.toNanos() / NANOS_PER_MILLI * 1000.0) / 1000.0;
+    }
+    
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete profiling dump {}: {}", file, e.getMessage());
+        }
+    }
+    
+    private static final class WalletStats {
+        
+        private long operations;
+        private long retries;
+        private long failures;
+        private long totalNanos;
+        private long maxNanos;
+        
+        private void add(RecordedEvent event, boolean failed) {
+            long nanos = event.getDuration().toNanos();
+            operations++;
+            retries += event.getInt("retries");
+            failures += failed ? 1 : 0;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+        
+        private ProfilingReport.HotWallet toHotWallet(long walletIdHash) {
+            return ProfilingReport.HotWallet.builder()
+                    .walletIdHash(Long.toHexString(walletIdHash))
+                    .operations(operations)
+                    .retries(retries)
+                    .failures(failures)
+                    .totalTimeMs(toMillis(Duration.ofNanos(totalNanos)))
+                    .maxTimeMs(toMillis(Duration.ofNanos(maxNanos)))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.wallet.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Масштабируемый фильтр Блума (Almeida et al., 2007) для UUID.
+// Когда текущий слой заполняется, добавляется новый слой вдвое большей емкости
+// с вдвое меньшей долей ложных срабатываний, поэтому суммарная доля остается в пределах заданной.
+// Ложноотрицательных ответов нет: mightContain == false означает, что значение не добавлялось.
+class ScalableBloomFilter {
+    
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+    private static final double TIGHTENING_RATIO = 0.5;
+    
+    private final List<Layer> layers = new CopyOnWriteArrayList<>();
+    
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than zero");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        // Ряд p0 * r^i сходится к p0 / (1 - r), поэтому первый слой получает p * (1 - r)
+        layers.add(new Layer(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+    
+    void put(UUID value) {
+        long h1 = UuidHashing.hash(value);
+        long h2 = secondHash(value, h1);
+        if (contains(h1, h2)) {
+            return;
+        }
+        currentLayer().put(h1, h2);
+    }
+    
+    boolean mightContain(UUID value) {
+        long h1 = UuidHashing.hash(value);
+        long h2 = secondHash(value, h1);
+        return contains(h1, h2);
+    }
+    
+    // Число добавленных значений без учета повторов (и значений, уже давших ложное срабатывание)
+    long entries() {
+        return layers.stream().mapToLong(layer -> layer.count.get()).sum();
+    }
+    
+    long memoryBytes() {
+        return layers.stream().mapToLong(layer -> layer.bits.length() * Long.BYTES).sum();
+    }
+    
+    int layerCount() {
+        return layers.size();
+    }
+    
+    // Оценка текущей доли ложных срабатываний по фактическому заполнению слоев
+    double estimatedFalsePositiveRate() {
+        double trueNegative = 1.0;
+        for (Layer layer : layers) {
+            double fill = 1 - Math.exp(-(double) layer.hashCount * layer.count.get() / layer.bitCount);
+            trueNegative *= 1 - Math.pow(fill, layer.hashCount);
+        }
+        return 1 - trueNegative;
+    }
+    
+    // Объем памяти первого слоя на миллион значений при заданной доле ложных срабатываний
+    static long bytesPerMillion(double falsePositiveRate) {
+        return (long) Math.ceil(optimalBits(1_000_000, falsePositiveRate * (1 - TIGHTENING_RATIO)) / 8.0);
+    }
+    
+    private boolean contains(long h1, long h2) {
+        for (Layer layer : layers) {
+            if (layer.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Layer currentLayer() {
+        Layer last = layers.get(layers.size() - 1);
+        if (last.count.get() < last.capacity) {
+            return last;
+        }
+        synchronized (this) {
+            last = layers.get(layers.size() - 1);
+            if (last.count.get() >= last.capacity) {
+                last = new Layer(last.capacity * 2, last.falsePositiveRate * TIGHTENING_RATIO);
+                layers.add(last);
+            }
+            return last;
+        }
+    }
+    
+    private static long optimalBits(long capacity, double falsePositiveRate) {
+        return Math.max(Long.SIZE, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / LN2_SQUARED));
+    }
+    
+    // Нечетный шаг гарантирует, что позиции g_i не зацикливаются на одном бите
+    private static long secondHash(UUID value, long h1) {
+        return UuidHashing.mix(value.getLeastSignificantBits() + 0x9E3779B97F4A7C15L * h1) | 1;
+    }
+    
+    private static final class Layer {
+        
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+        
+        private Layer(long capacity, double falsePositiveRate) {
+            long words = (optimalBits(capacity, falsePositiveRate) + Long.SIZE - 1) / Long.SIZE;
+            if (words > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter layer is too large: " + capacity);
+            }
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            this.bits = new AtomicLongArray((int) words);
+            this.bitCount = words * Long.SIZE;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+        
+        // Двойное хеширование (Kirsch–Mitzenmacher): g_i = h1 + i * h2
+        private void put(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(combined, bitCount);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0) {
+                    if (bits.compareAndSet(word, current, current | mask)) {
+                        break;
+                    }
+                }
+                combined += h2;
+            }
+            count.incrementAndGet();
+        }
+        
+        private boolean mightContain(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(combined, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.wallet.service;
+
+import java.util.UUID;
+
+// 64-битное хеширование UUID для фильтра кошельков и JFR-событий
+final class UuidHashing {
+    
+    private UuidHashing() {
+    }
+    
+    static long hash(UUID value) {
+        return mix(value.getMostSignificantBits() ^ Long.rotateLeft(value.getLeastSignificantBits(), 32));
+    }
+    
+    // Финализатор MurmurHash3 (fmix64)
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
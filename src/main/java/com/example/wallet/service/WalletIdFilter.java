@@ -0,0 +1,127 @@
+package com.example.wallet.service;
+
+import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Фильтр известных walletId для отсечения запросов к несуществующим кошелькам без обращения к БД.
+// Пока фильтр не построен (или отключен), все идентификаторы считаются возможно существующими.
+// Безопасен только для единственного экземпляра сервиса: кошелек, созданный другим экземпляром
+// или вставленный в таблицу напрямую, до ближайшего refresh() будет получать WALLET_NOT_FOUND.
+@Slf4j
+@Component
+public class WalletIdFilter {
+    
+    private final WalletRepository walletRepository;
+    private final boolean enabled;
+    private final Duration refreshOverlap;
+    private final ScalableBloomFilter filter;
+    private final Counter rejectedCounter;
+    private final Counter falsePositiveCounter;
+    
+    private volatile boolean ready;
+    private volatile LocalDateTime lastRefresh;
+    
+    public WalletIdFilter(
+            WalletRepository walletRepository,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.id-filter.enabled:false}") boolean enabled,
+            @Value("${wallet.id-filter.expected-wallets:1000000}") long expectedWallets,
+            @Value("${wallet.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${wallet.id-filter.refresh-overlap-ms:300000}") long refreshOverlapMs) {
+        this.walletRepository = walletRepository;
+        this.enabled = enabled;
+        this.refreshOverlap = Duration.ofMillis(refreshOverlapMs);
+        this.filter = new ScalableBloomFilter(expectedWallets, falsePositiveRate);
+        
+        this.rejectedCounter = Counter.builder("wallet.id.filter.rejections")
+                .description("Requests rejected by the wallet id filter without a database query")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("wallet.id.filter.false.positives")
+                .description("Unknown wallet ids that passed the filter and were looked up in the database")
+                .register(meterRegistry);
+        Gauge.builder("wallet.id.filter.entries", filter, ScalableBloomFilter::entries)
+                .description("Wallet ids stored in the filter")
+                .register(meterRegistry);
+        Gauge.builder("wallet.id.filter.memory", filter, ScalableBloomFilter::memoryBytes)
+                .description("Memory used by the wallet id filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("wallet.id.filter.false.positive.rate", filter, ScalableBloomFilter::estimatedFalsePositiveRate)
+                .description("Estimated false positive rate of the wallet id filter")
+                .register(meterRegistry);
+        
+        log.info("Wallet id filter enabled: {}, expected wallets: {}, false positive rate: {}, memory per million wallets: {} KB",
+                enabled, expectedWallets, falsePositiveRate,
+                ScalableBloomFilter.bytesPerMillion(falsePositiveRate) / 1024);
+    }
+    
+    // Построение фильтра потоковым чтением wallet_id из таблицы после старта приложения
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        // Кошельки, созданные во время чтения, добавятся через add() или при следующем обновлении
+        LocalDateTime buildStart = LocalDateTime.now();
+        try (Stream<UUID> walletIds = walletRepository.streamAllWalletIds()) {
+            walletIds.forEach(filter::put);
+        }
+        lastRefresh = buildStart;
+        ready = true;
+        
+        log.info("Wallet id filter built in {} ms: {} wallets, {} KB in {} layers, estimated false positive rate {}",
+                Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                filter.entries(), filter.memoryBytes() / 1024, filter.layerCount(),
+                String.format("%.5f", filter.estimatedFalsePositiveRate()));
+    }
+    
+    // Подхватывает кошельки, созданные в обход этого экземпляра; окно устаревания - refresh-interval-ms
+    @Scheduled(fixedDelayString = "${wallet.id-filter.refresh-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime refreshStart = LocalDateTime.now();
+        walletRepository.findWalletIdsCreatedSince(lastRefresh.minus(refreshOverlap)).forEach(filter::put);
+        lastRefresh = refreshStart;
+    }
+    
+    public void add(UUID walletId) {
+        if (enabled) {
+            filter.put(walletId);
+        }
+    }
+    
+    // false - кошелек точно не существует; true - нужно проверить в БД
+    public boolean mightContain(UUID walletId) {
+        return !ready || filter.mightContain(walletId);
+    }
+    
+    public void recordRejection() {
+        rejectedCounter.increment();
+    }
+    
+    // Кошелек прошел фильтр, но не нашелся в БД
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositiveCounter.increment();
+        }
+    }
+}
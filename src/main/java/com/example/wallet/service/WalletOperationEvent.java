@@ -0,0 +1,148 @@
+package com.example.wallet.service;
+
+import com.example.wallet.dto.DurabilityTier;
+import com.example.wallet.exception.InsufficientFundsException;
+import com.example.wallet.exception.InvalidAmountException;
+import com.example.wallet.exception.WalletNotFoundException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+// JFR-событие операции с кошельком. Пока событие не включено в записи, isEnabled() == false
+// и все методы ниже сводятся к проверке флага, поэтому в обычном режиме накладных расходов нет.
+@Name(WalletOperationEvent.NAME)
+@Label("Wallet Operation")
+@Category({"Wallet Service"})
+@Description("Deposit, withdraw or balance read handled by WalletService")
+@StackTrace(false)
+public class WalletOperationEvent extends Event {
+    
+    public static final String NAME = "com.example.wallet.Operation";
+    
+    static final String SUCCESS = "SUCCESS";
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Wallet Id Hash")
+    @Description("Hash of the wallet id, the id itself is not recorded")
+    long walletIdHash;
+    
+    @Label("Durability Tier")
+    String durabilityTier;
+    
+    @Label("Retries")
+    @Description("Failed attempts before this one")
+    int retries;
+    
+    @Label("Statement Time")
+    @Description("Time spent in SQL statements, including row lock waits of UPDATE statements")
+    @Timespan
+    long statementTime;
+    
+    @Label("Queue Wait")
+    @Description("Time a group-committed operation waited in the queue before its batch picked it up")
+    @Timespan
+    long queueWait;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    static WalletOperationEvent start(String operation, UUID walletId, DurabilityTier tier) {
+        WalletOperationEvent event = new WalletOperationEvent();
+        if (!event.isEnabled()) {
+            return event;
+        }
+        event.operation = operation;
+        event.walletIdHash = hash(walletId);
+        event.durabilityTier = tier != null ? tier.name() : null;
+        RetryContext retryContext = RetrySynchronizationManager.getContext();
+        event.retries = retryContext != null ? retryContext.getRetryCount() : 0;
+        event.outcome = SUCCESS;
+        event.begin();
+        return event;
+    }
+    
+    public static long hash(UUID walletId) {
+        return walletId != null ? UuidHashing.hash(walletId) : 0;
+    }
+    
+    // Начало замера SQL-времени; 0, если событие не записывается
+    long clock() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+    
+    void addStatementTime(long startNanos) {
+        if (isEnabled()) {
+            statementTime += System.nanoTime() - startNanos;
+        }
+    }
+    
+    void addQueueWait(long startNanos, long endNanos) {
+        if (isEnabled() && endNanos > 0) {
+            queueWait += endNanos - startNanos;
+        }
+    }
+    
+    void fail(Throwable error) {
+        if (isEnabled()) {
+            outcome = outcome(error);
+        }
+    }
+    
+    // Внутри транзакции событие фиксируется после коммита или отката, чтобы длительность
+    // включала сброс WAL, а откат успешной по коду операции был виден в outcome
+    void finish() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitEvent();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED && SUCCESS.equals(outcome)) {
+                    outcome = "ROLLED_BACK";
+                }
+                commitEvent();
+            }
+        });
+    }
+    
+    private void commitEvent() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+    
+    // Коды совпадают с errorCode в ответах GlobalExceptionHandler
+    private static String outcome(Throwable error) {
+        if (error instanceof WalletNotFoundException) {
+            return "WALLET_NOT_FOUND";
+        }
+        if (error instanceof InsufficientFundsException) {
+            return "INSUFFICIENT_FUNDS";
+        }
+        if (error instanceof InvalidAmountException) {
+            return "INVALID_AMOUNT";
+        }
+        if (error instanceof ConcurrencyFailureException) {
+            return "CONCURRENT_MODIFICATION";
+        }
+        return "ERROR";
+    }
+}
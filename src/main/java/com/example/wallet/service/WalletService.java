@@ -1,5 +1,6 @@
 ﻿package com.example.wallet.service;
 
+import com.example.wallet.dto.DurabilityTier;
 import com.example.wallet.dto.OperationType;
 import com.example.wallet.dto.WalletBalanceResponse;
 import com.example.wallet.dto.WalletOperationRequest;
@@ -24,19 +25,32 @@ import java.util.UUID;
 public class WalletService {
     
     private final WalletRepository walletRepository;
+    private final WalletIdFilter walletIdFilter;
     
     @Transactional(readOnly = true)
     public WalletBalanceResponse getWalletBalance(UUID walletId) {
-        Wallet wallet = walletRepository.findByWalletId(walletId)
+        WalletOperationEvent event = WalletOperationEvent.start("GET", walletId, null);
+        try {
+            long statementStart = event.clock();
+            Wallet wallet = walletRepository.findByWalletId(walletId)
+                    .orElseThrow(() -> walletNotFound(walletId));
+            event.addStatementTime(statementStart);
+            
+            return toBalanceResponse(wallet);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    // Баланс для ответа на POST: операция уже записала свое JFR-событие, второе (GET) не создается
+    @Transactional(readOnly = true)
+    public WalletBalanceResponse getBalanceAfterOperation(UUID walletId) {
+        return walletRepository.findByWalletId(walletId)
+                .map(this::toBalanceResponse)
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
-        
-        return WalletBalanceResponse.builder()
-                .walletId(wallet.getWalletId())
-                .balance(wallet.getBalance())
-                .currency(wallet.getCurrency())
-                .updatedAt(wallet.getUpdatedAt())
-                .active(wallet.isActive())
-                .build();
     }
     
     // Основной метод с оптимистической блокировкой и ретраями
@@ -47,35 +61,46 @@ public class WalletService {
             backoff = @Backoff(delay = 100, multiplier = 2)
     )
     public Wallet processOperation(WalletOperationRequest request) {
-        // Валидация входных данных
-        validateOperationRequest(request);
-        
-        // Используем пессимистическую блокировку для конкурентного доступа
-        Wallet wallet = walletRepository.findByWalletIdWithLock(request.getWalletId())
-                .orElseThrow(() -> new WalletNotFoundException(request.getWalletId()));
-        
-        if (!wallet.isActive()) {
-            throw new RuntimeException("Wallet is inactive");
-        }
-        
-        BigDecimal amount = request.getAmount();
-        
-        if (request.getOperationType() == OperationType.DEPOSIT) {
-            wallet.deposit(amount);
-            log.info("Deposited {} to wallet {}", amount, request.getWalletId());
-        } else {
-            if (!wallet.hasSufficientFunds(amount)) {
-                throw new InsufficientFundsException(
-                    request.getWalletId(), 
-                    wallet.getBalance(), 
-                    amount
-                );
+        WalletOperationEvent event = WalletOperationEvent.start(
+                String.valueOf(request.getOperationType()), request.getWalletId(), DurabilityTier.FULL);
+        try {
+            // Валидация входных данных
+            validateOperationRequest(request);
+            
+            // Используем пессимистическую блокировку для конкурентного доступа
+            long statementStart = event.clock();
+            Wallet wallet = walletRepository.findByWalletIdWithLock(request.getWalletId())
+                    .orElseThrow(() -> walletNotFound(request.getWalletId()));
+            event.addStatementTime(statementStart);
+            
+            if (!wallet.isActive()) {
+                throw new RuntimeException("Wallet is inactive");
+            }
+            
+            BigDecimal amount = request.getAmount();
+            
+            if (request.getOperationType() == OperationType.DEPOSIT) {
+                wallet.deposit(amount);
+                log.info("Deposited {} to wallet {}", amount, request.getWalletId());
+            } else {
+                if (!wallet.hasSufficientFunds(amount)) {
+                    throw new InsufficientFundsException(
+                        request.getWalletId(), 
+                        wallet.getBalance(), 
+                        amount
+                    );
+                }
+                wallet.withdraw(amount);
+                log.info("Withdrew {} from wallet {}", amount, request.getWalletId());
             }
-            wallet.withdraw(amount);
-            log.info("Withdrew {} from wallet {}", amount, request.getWalletId());
+            
+            return walletRepository.save(wallet);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
         }
-        
-        return walletRepository.save(wallet);
     }
     
     // Альтернативный метод с оптимизированными UPDATE запросами (меньше блокировок)
@@ -85,38 +110,53 @@ public class WalletService {
             maxAttempts = 3,
             backoff = @Backoff(delay = 50, multiplier = 2)
     )
-    public boolean processOperationOptimized(WalletOperationRequest request) {
-        validateOperationRequest(request);
-        
-        if (request.getOperationType() == OperationType.DEPOSIT) {
-            int updated = walletRepository.deposit(request.getWalletId(), request.getAmount());
-            if (updated == 0) {
-                throw new WalletNotFoundException(request.getWalletId());
+    public boolean processOperationOptimized(WalletOperationRequest request, DurabilityTier tier) {
+        WalletOperationEvent event = WalletOperationEvent.start(
+                String.valueOf(request.getOperationType()), request.getWalletId(), tier);
+        try {
+            validateOperationRequest(request);
+            
+            // Для мелких операций не ждем сброса WAL на диск при коммите
+            if (tier == DurabilityTier.RELAXED) {
+                walletRepository.disableSynchronousCommit();
             }
-            return true;
-        } else {
-            int updated = walletRepository.withdraw(request.getWalletId(), request.getAmount());
-            if (updated == 0) {
-                // Проверяем, существует ли кошелек
-                if (!walletRepository.existsByWalletId(request.getWalletId())) {
-                    throw new WalletNotFoundException(request.getWalletId());
+            
+            long statementStart = event.clock();
+            if (request.getOperationType() == OperationType.DEPOSIT) {
+                int updated = walletRepository.deposit(request.getWalletId(), request.getAmount());
+                event.addStatementTime(statementStart);
+                if (updated == 0) {
+                    throw walletNotFound(request.getWalletId());
                 }
-                // Если кошелек существует, значит недостаточно средств
-                Wallet wallet = walletRepository.findByWalletId(request.getWalletId())
-                        .orElseThrow(() -> new WalletNotFoundException(request.getWalletId()));
-                throw new InsufficientFundsException(
-                    request.getWalletId(),
-                    wallet.getBalance(),
-                    request.getAmount()
-                );
+                return true;
+            } else {
+                int updated = walletRepository.withdraw(request.getWalletId(), request.getAmount());
+                if (updated == 0) {
+                    // Если кошелек существует, значит недостаточно средств
+                    Wallet wallet = walletRepository.findByWalletId(request.getWalletId())
+                            .orElseThrow(() -> walletNotFound(request.getWalletId()));
+                    event.addStatementTime(statementStart);
+                    throw new InsufficientFundsException(
+                        request.getWalletId(),
+                        wallet.getBalance(),
+                        request.getAmount()
+                    );
+                }
+                event.addStatementTime(statementStart);
+                return true;
             }
-            return true;
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
         }
     }
     
     @Transactional
     public Wallet createWallet(UUID walletId, String currency) {
-        if (walletRepository.existsByWalletId(walletId)) {
+        // Если фильтр не знает кошелек, проверка в БД не нужна: дубликат отсечет уникальный индекс
+        if (walletIdFilter.mightContain(walletId) && walletRepository.existsByWalletId(walletId)) {
             throw new RuntimeException("Wallet already exists: " + walletId);
         }
         
@@ -127,7 +167,38 @@ public class WalletService {
                 .active(true)
                 .build();
         
-        return walletRepository.save(wallet);
+        Wallet saved = walletRepository.save(wallet);
+        walletIdFilter.add(walletId);
+        return saved;
+    }
+    
+    // Отказ без запроса к БД, если кошелек точно не существует.
+    // Вызывается до входа в транзакционные методы, чтобы отказ не занимал соединение из пула.
+    public void requireKnownWallet(UUID walletId, String operation) {
+        if (!walletIdFilter.mightContain(walletId)) {
+            walletIdFilter.recordRejection();
+            WalletNotFoundException error = new WalletNotFoundException(walletId);
+            // Отказ фильтра тоже попадает в JFR, как и WALLET_NOT_FOUND из БД
+            WalletOperationEvent event = WalletOperationEvent.start(operation, walletId, null);
+            event.fail(error);
+            event.finish();
+            throw error;
+        }
+    }
+    
+    private WalletBalanceResponse toBalanceResponse(Wallet wallet) {
+        return WalletBalanceResponse.builder()
+                .walletId(wallet.getWalletId())
+                .balance(wallet.getBalance())
+                .currency(wallet.getCurrency())
+                .updatedAt(wallet.getUpdatedAt())
+                .active(wallet.isActive())
+                .build();
+    }
+    
+    private WalletNotFoundException walletNotFound(UUID walletId) {
+        walletIdFilter.recordFalsePositive();
+        return new WalletNotFoundException(walletId);
     }
     
     private void validateOperationRequest(WalletOperationRequest request) {
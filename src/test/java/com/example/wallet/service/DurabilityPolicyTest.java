@@ -0,0 +1,68 @@
+package com.example.wallet.service;
+
+import com.example.wallet.dto.DurabilityTier;
+import com.example.wallet.dto.OperationType;
+import com.example.wallet.dto.WalletOperationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurabilityPolicyTest {
+    
+    private static final BigDecimal THRESHOLD = new BigDecimal("100");
+    
+    @Test
+    void disabledPolicyAlwaysResolvesFull() {
+        DurabilityPolicy policy = policy(false, DurabilityPolicy.RelaxedMode.ASYNC_COMMIT);
+        
+        assertEquals(DurabilityTier.FULL, policy.resolve(request("1", null)));
+        assertEquals(DurabilityTier.FULL, policy.resolve(request("1", DurabilityTier.RELAXED)));
+    }
+    
+    @Test
+    void smallAmountResolvesRelaxed() {
+        DurabilityPolicy policy = policy(true, DurabilityPolicy.RelaxedMode.ASYNC_COMMIT);
+        
+        assertEquals(DurabilityTier.RELAXED, policy.resolve(request("99.99", null)));
+    }
+    
+    @Test
+    void amountAtOrAboveThresholdResolvesFullEvenWhenRelaxedRequested() {
+        DurabilityPolicy policy = policy(true, DurabilityPolicy.RelaxedMode.ASYNC_COMMIT);
+        
+        assertEquals(DurabilityTier.FULL, policy.resolve(request("100", DurabilityTier.RELAXED)));
+        assertEquals(DurabilityTier.FULL, policy.resolve(request("5000", DurabilityTier.RELAXED)));
+    }
+    
+    @Test
+    void explicitFullOptsOutOfRelaxedTier() {
+        DurabilityPolicy policy = policy(true, DurabilityPolicy.RelaxedMode.ASYNC_COMMIT);
+        
+        assertEquals(DurabilityTier.FULL, policy.resolve(request("1", DurabilityTier.FULL)));
+    }
+    
+    @Test
+    void groupCommitOnlyForRelaxedTierWhenEnabled() {
+        DurabilityPolicy groupCommit = policy(true, DurabilityPolicy.RelaxedMode.GROUP_COMMIT);
+        
+        assertTrue(groupCommit.isGroupCommit(DurabilityTier.RELAXED));
+        assertFalse(groupCommit.isGroupCommit(DurabilityTier.FULL));
+        assertFalse(policy(true, DurabilityPolicy.RelaxedMode.ASYNC_COMMIT).isGroupCommit(DurabilityTier.RELAXED));
+        assertFalse(policy(false, DurabilityPolicy.RelaxedMode.GROUP_COMMIT).isGroupCommit(DurabilityTier.RELAXED));
+    }
+    
+    private static DurabilityPolicy policy(boolean enabled, DurabilityPolicy.RelaxedMode mode) {
+        return new DurabilityPolicy(enabled, THRESHOLD, mode, new SimpleMeterRegistry());
+    }
+    
+    private static WalletOperationRequest request(String amount, DurabilityTier durability) {
+        return new WalletOperationRequest(
+                UUID.randomUUID(), OperationType.DEPOSIT, new BigDecimal(amount), null, durability);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.wallet.service;
+
+import com.example.wallet.dto.DurabilityTier;
+import com.example.wallet.dto.OperationType;
+import com.example.wallet.dto.WalletOperationRequest;
+import com.example.wallet.exception.GroupCommitOutcomeUnknownException;
+import com.example.wallet.exception.WalletNotFoundException;
+import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitterTest {
+    
+    private static final int OPERATIONS = 20;
+    
+    private final WalletRepository walletRepository = mock(WalletRepository.class);
+    private final WalletService walletService = mock(WalletService.class);
+    private final WalletIdFilter walletIdFilter = mock(WalletIdFilter.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(OPERATIONS);
+    
+    private GroupCommitter groupCommitter;
+    
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        DurabilityPolicy policy = new DurabilityPolicy(
+                true, new BigDecimal("100"), DurabilityPolicy.RelaxedMode.GROUP_COMMIT, meterRegistry);
+        groupCommitter = new GroupCommitter(
+                walletRepository, walletService, walletIdFilter, transactionManager, policy, meterRegistry,
+                5, 200, 1000, 5000);
+        groupCommitter.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        groupCommitter.stop();
+        callers.shutdownNow();
+    }
+    
+    @Test
+    void failedBatchFallsBackToSingleTransactions() throws Exception {
+        when(walletRepository.deposit(any(), any())).thenThrow(new CannotAcquireLockException("deadlock"));
+        
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            WalletOperationRequest request = new WalletOperationRequest(
+                    UUID.randomUUID(), OperationType.DEPOSIT, BigDecimal.ONE, null, null);
+            results.add(callers.submit(() -> groupCommitter.submit(request)));
+        }
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        
+        verify(walletRepository, atLeastOnce()).deposit(any(), any());
+        verify(transactionManager, atLeastOnce()).rollback(any());
+        verify(walletService, times(OPERATIONS)).processOperationOptimized(any(), eq(DurabilityTier.FULL));
+        assertEquals(OPERATIONS, meterRegistry.get("wallet.group.commit.fallbacks").counter().count());
+    }
+    
+    @Test
+    void successfulBatchCompletesEveryOperation() throws Exception {
+        when(walletRepository.deposit(any(), any())).thenReturn(1);
+        
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            WalletOperationRequest request = new WalletOperationRequest(
+                    UUID.randomUUID(), OperationType.DEPOSIT, BigDecimal.ONE, null, null);
+            results.add(callers.submit(() -> groupCommitter.submit(request)));
+        }
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        
+        verify(walletRepository, times(OPERATIONS)).deposit(any(), any());
+        verify(walletService, times(0)).processOperationOptimized(any(), any());
+    }
+    
+    @Test
+    void failedCommitIsNotReplayed() throws Exception {
+        when(walletRepository.deposit(any(), any())).thenReturn(1);
+        doThrow(new TransactionSystemException("connection lost during commit"))
+                .when(transactionManager).commit(any());
+        
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            WalletOperationRequest request = new WalletOperationRequest(
+                    UUID.randomUUID(), OperationType.DEPOSIT, BigDecimal.ONE, null, null);
+            results.add(callers.submit(() -> groupCommitter.submit(request)));
+        }
+        for (Future<?> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(GroupCommitOutcomeUnknownException.class, e.getCause());
+        }
+        
+        verify(walletService, never()).processOperationOptimized(any(), any());
+    }
+    
+    @Test
+    void unknownWalletInBatchIsCountedAsFilterFalsePositive() {
+        when(walletRepository.deposit(any(), any())).thenReturn(0);
+        WalletOperationRequest request = new WalletOperationRequest(
+                UUID.randomUUID(), OperationType.DEPOSIT, BigDecimal.ONE, null, null);
+        
+        assertThrows(WalletNotFoundException.class, () -> groupCommitter.submit(request));
+        
+        verify(walletIdFilter).recordFalsePositive();
+    }
+}
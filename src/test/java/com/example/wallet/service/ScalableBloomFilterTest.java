@@ -0,0 +1,64 @@
+package com.example.wallet.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScalableBloomFilterTest {
+    
+    private static final int INSERTED = 100_000;
+    private static final int PROBES = 100_000;
+    private static final int INITIAL_CAPACITY = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    
+    @Test
+    void noFalseNegativesAndBoundedFalsePositivesAcrossLayerGrowth() {
+        // Начальная емкость в 10 раз меньше вставляемого объема, чтобы фильтр добавил слои
+        ScalableBloomFilter filter = new ScalableBloomFilter(INITIAL_CAPACITY, FALSE_POSITIVE_RATE);
+        SplittableRandom random = new SplittableRandom(42);
+        
+        List<UUID> inserted = new ArrayList<>(INSERTED);
+        for (int i = 0; i < INSERTED; i++) {
+            UUID walletId = new UUID(random.nextLong(), random.nextLong());
+            inserted.add(walletId);
+            filter.put(walletId);
+        }
+        
+        assertTrue(filter.layerCount() > 1, "filter should have grown beyond one layer");
+        for (UUID walletId : inserted) {
+            assertTrue(filter.mightContain(walletId), "false negative for " + walletId);
+        }
+        
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(new UUID(random.nextLong(), random.nextLong()))) {
+                falsePositives++;
+            }
+        }
+        double measured = (double) falsePositives / PROBES;
+        assertTrue(measured <= FALSE_POSITIVE_RATE,
+                "measured false positive rate " + measured + " exceeds " + FALSE_POSITIVE_RATE);
+        assertTrue(filter.estimatedFalsePositiveRate() <= FALSE_POSITIVE_RATE);
+    }
+    
+    @Test
+    void emptyFilterContainsNothing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, FALSE_POSITIVE_RATE);
+        
+        assertFalse(filter.mightContain(UUID.randomUUID()));
+    }
+    
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, FALSE_POSITIVE_RATE));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(1000, 1));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.wallet.service;
+
+import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WalletIdFilterTest {
+    
+    private final WalletRepository walletRepository = mock(WalletRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @Test
+    void acceptsEverythingUntilBuilt() {
+        WalletIdFilter filter = filter(true);
+        
+        assertTrue(filter.mightContain(UUID.randomUUID()));
+    }
+    
+    @Test
+    void rejectsUnknownIdsAfterBuild() {
+        UUID known = UUID.randomUUID();
+        when(walletRepository.streamAllWalletIds()).thenReturn(Stream.of(known));
+        WalletIdFilter filter = filter(true);
+        
+        filter.build();
+        
+        assertTrue(filter.mightContain(known));
+        assertFalse(filter.mightContain(UUID.randomUUID()));
+    }
+    
+    @Test
+    void addedIdIsKnownAfterBuild() {
+        when(walletRepository.streamAllWalletIds()).thenReturn(Stream.empty());
+        WalletIdFilter filter = filter(true);
+        filter.build();
+        UUID created = UUID.randomUUID();
+        
+        filter.add(created);
+        
+        assertTrue(filter.mightContain(created));
+    }
+    
+    @Test
+    void disabledFilterNeverBuildsOrRejects() {
+        WalletIdFilter filter = filter(false);
+        
+        filter.build();
+        
+        verify(walletRepository, never()).streamAllWalletIds();
+        assertTrue(filter.mightContain(UUID.randomUUID()));
+    }
+    
+    @Test
+    void falsePositivesAreCountedOnlyWhenReady() {
+        when(walletRepository.streamAllWalletIds()).thenReturn(Stream.empty());
+        WalletIdFilter filter = filter(true);
+        
+        filter.recordFalsePositive();
+        filter.build();
+        filter.recordFalsePositive();
+        
+        assertEquals(1, meterRegistry.get("wallet.id.filter.false.positives").counter().count());
+    }
+    
+    private WalletIdFilter filter(boolean enabled) {
+        return new WalletIdFilter(walletRepository, meterRegistry, enabled, 1000, 0.01, 300000);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.wallet.service;
+
+import com.example.wallet.exception.WalletNotFoundException;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WalletServiceTest {
+    
+    private final WalletRepository walletRepository = mock(WalletRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private WalletIdFilter walletIdFilter;
+    private WalletService walletService;
+    
+    @BeforeEach
+    void setUp() {
+        when(walletRepository.streamAllWalletIds()).thenReturn(Stream.empty());
+        when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        walletIdFilter = new WalletIdFilter(walletRepository, meterRegistry, true, 1000, 0.01, 300000);
+        walletService = new WalletService(walletRepository, walletIdFilter);
+    }
+    
+    @Test
+    void unknownWalletPassesUntilFilterIsReady() {
+        assertDoesNotThrow(() -> walletService.requireKnownWallet(UUID.randomUUID(), "GET"));
+        
+        assertEquals(0, rejections());
+    }
+    
+    @Test
+    void unknownWalletIsRejectedOnceFilterIsReady() {
+        walletIdFilter.build();
+        
+        assertThrows(WalletNotFoundException.class,
+                () -> walletService.requireKnownWallet(UUID.randomUUID(), "DEPOSIT"));
+        
+        assertEquals(1, rejections());
+    }
+    
+    @Test
+    void createWalletSkipsExistenceQueryForUnknownId() {
+        walletIdFilter.build();
+        UUID walletId = UUID.randomUUID();
+        
+        walletService.createWallet(walletId, "USD");
+        
+        verify(walletRepository, never()).existsByWalletId(walletId);
+        verify(walletRepository).save(any(Wallet.class));
+    }
+    
+    @Test
+    void createdWalletIsAcceptedByFilter() {
+        walletIdFilter.build();
+        UUID walletId = UUID.randomUUID();
+        
+        walletService.createWallet(walletId, null);
+        
+        assertDoesNotThrow(() -> walletService.requireKnownWallet(walletId, "GET"));
+        assertEquals(0, rejections());
+    }
+    
+    @Test
+    void createWalletChecksDatabaseBeforeFilterIsReady() {
+        UUID walletId = UUID.randomUUID();
+        
+        walletService.createWallet(walletId, "USD");
+        
+        verify(walletRepository).existsByWalletId(walletId);
+    }
+    
+    private double rejections() {
+        return meterRegistry.get("wallet.id.filter.rejections").counter().count();
+    }
+}